@@ -0,0 +1,16 @@
+package library;
+
+/**
+ * The DuplicatePatronException is a custom exception thrown when a patron's email is already registered.
+ */
+public class DuplicatePatronException extends IllegalArgumentException {
+
+    /**
+     * Constructs a new DuplicatePatronException for the given email address.
+     *
+     * @param email The email address that is already registered.
+     */
+    public DuplicatePatronException(String email) {
+        super("Duplicate Patron Email: " + email);
+    }
+}
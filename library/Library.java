@@ -3,6 +3,7 @@ package library;
 import java.io.BufferedReader;
 import java.io.BufferedWriter;
 import java.io.IOException;
+import java.time.LocalDate;
 import java.util.ArrayList;
 
 /**
@@ -21,9 +22,15 @@ public class Library {
     ArrayList<Publication> publications;
 
     /**
-     * A list of patrons in the library.
+     * The patrons of the library, keyed by id and email. Registrations lock only this registry,
+     * not the library, so they do not wait behind saves, check-outs, or listings.
      */
-    ArrayList<Patron> patrons;
+    volatile PatronRegistry patrons;
+
+    /**
+     * The replication leader streaming this library's mutations to followers, or null if not replicated.
+     */
+    volatile ReplicationLeader leader;
 
     /**
      * Constructs a new library with the given name.
@@ -33,7 +40,7 @@ public class Library {
     public Library(String name) {
         this.name = name;
         this.publications = new ArrayList<>();
-        this.patrons = new ArrayList<>();
+        this.patrons = new PatronRegistry();
     }
 
     /**
@@ -41,24 +48,23 @@ public class Library {
      *
      * @param br The BufferedReader from which to read library data.
      * @throws IOException If an I/O error occurs.
+     * @throws DuplicatePatronException If two patrons in the data share an email.
      */
     public Library(BufferedReader br) throws IOException {
         this.name = br.readLine();
         this.publications = new ArrayList<>();
-        this.patrons = new ArrayList<>();
+        this.patrons = new PatronRegistry();
         int numPublications = Integer.parseInt(br.readLine());
         for (int i = 0; i < numPublications; i++) {
-            String type = br.readLine();
-            if (type.equals("video")) {
-                publications.add(new Video(br));
-            } else if (type.equals("publication")) {
-                publications.add(new Publication(br));
+            Publication publication = loadPublication(br);
+            if (publication != null) {
+                publications.add(publication);
             }
         }
         int numPatrons = Integer.parseInt(br.readLine());
         for (int i = 0; i < numPatrons; i++) {
             String type = br.readLine();
-            patrons.add(new Patron(br));
+            patrons.register(new Patron(br));
         }
     }
 
@@ -68,40 +74,112 @@ public class Library {
      * @param bw The BufferedWriter to which to save library data.
      * @throws IOException If an I/O error occurs.
      */
-    public void save(BufferedWriter bw) throws IOException {
+    public synchronized void save(BufferedWriter bw) throws IOException {
         bw.write(name + '\n');
         bw.write(Integer.toString(publications.size()) + '\n');
         for (Publication publication : publications) {
-            if (publication instanceof Video) {
-                bw.write("video\n");
-            } else if (publication instanceof Publication) {
-                bw.write("publication\n");
-            }
-            publication.save(bw);
+            savePublication(bw, publication);
         }
-        bw.write(Integer.toString(patrons.size()) + '\n');
-        for (Patron patron : patrons) {
+        Patron[] registered = patrons.page(0, Integer.MAX_VALUE);
+        bw.write(Integer.toString(registered.length) + '\n');
+        for (Patron patron : registered) {
             bw.write("Patron\n");
             patron.save(bw);
         }
     }
 
+    /**
+     * Reads a publication preceded by its type line ("video" or "publication").
+     *
+     * @param br The BufferedReader from which to read the publication.
+     * @return The publication read, or null if the type is not recognized.
+     * @throws IOException If an I/O error occurs.
+     */
+    static Publication loadPublication(BufferedReader br) throws IOException {
+        String type = br.readLine();
+        if (type.equals("video")) {
+            return new Video(br);
+        } else if (type.equals("publication")) {
+            return new Publication(br);
+        }
+        return null;
+    }
+
+    /**
+     * Writes a publication preceded by its type line ("video" or "publication").
+     *
+     * @param bw          The BufferedWriter to which to write the publication.
+     * @param publication The publication to write.
+     * @throws IOException If an I/O error occurs.
+     */
+    static void savePublication(BufferedWriter bw, Publication publication) throws IOException {
+        if (publication instanceof Video) {
+            bw.write("video\n");
+        } else if (publication instanceof Publication) {
+            bw.write("publication\n");
+        }
+        publication.save(bw);
+    }
+
+    /**
+     * Replaces the contents of this library with those of a snapshot received from a replication leader.
+     *
+     * @param snapshot The library whose name, publications, and patrons are adopted.
+     */
+    synchronized void restore(Library snapshot) {
+        this.name = snapshot.name;
+        this.publications = snapshot.publications;
+        this.patrons = snapshot.patrons;
+    }
+
     /**
      * Adds a publication to the library.
      *
      * @param publication The publication to add.
      */
-    public void addPublication(Publication publication) {
+    public synchronized void addPublication(Publication publication) {
         this.publications.add(publication);
+        if (leader != null) {
+            leader.publish(this, Mutation.addPublication(publication));
+        }
     }
 
     /**
      * Adds a patron to the library.
      *
      * @param patron The patron to add.
+     * @throws DuplicatePatronException If a patron with the same email is already in the library.
      */
     public void addPatron(Patron patron) {
-        this.patrons.add(patron);
+        // Serialize the mutation before taking the lock that orders all registrations.
+        Mutation mutation = leader != null ? Mutation.addPatron(patron) : null;
+        PatronRegistry registry = this.patrons;
+        synchronized (registry) {
+            registry.register(patron);
+            ReplicationLeader current = leader;
+            if (current != null) {
+                current.publish(this, mutation != null ? mutation : Mutation.addPatron(patron));
+            }
+        }
+    }
+
+    /**
+     * Finds the index of the patron with the given email, ignoring case and surrounding spaces.
+     *
+     * @param email The email address of the patron.
+     * @return The patron's index, or -1 if no patron has that email.
+     */
+    public int findPatron(String email) {
+        return patrons.idOf(email);
+    }
+
+    /**
+     * Returns the number of patrons in the library.
+     *
+     * @return The patron count.
+     */
+    public int patronCount() {
+        return patrons.size();
     }
 
     /**
@@ -110,10 +188,21 @@ public class Library {
      * @return A string containing the patron menu.
      */
     public String patronMenu() {
+        return patronMenu(0, Integer.MAX_VALUE);
+    }
+
+    /**
+     * Generates a menu of one page of patrons in the library.
+     *
+     * @param offset The index of the first patron on the page.
+     * @param limit  The maximum number of patrons on the page.
+     * @return A string containing the patron menu page.
+     */
+    public String patronMenu(int offset, int limit) {
         StringBuilder patronInfo = new StringBuilder();
         patronInfo.append(">>>  ").append("Patron").append("  <<<").append("\n\n");
-        int num = 0;
-        for (Patron patron : patrons) {
+        int num = Math.max(0, offset);
+        for (Patron patron : patrons.page(offset, limit)) {
             patronInfo.append(num).append(". ").append(patron).append("\n");
             num++;
         }
@@ -128,10 +217,29 @@ public class Library {
      * @throws IndexOutOfBoundsException If the publication index is invalid.
      */
     public void checkOut(int publicationIndex, int patronIndex) {
+        checkOut(publicationIndex, patronIndex, LocalDate.now().plusDays(14));
+    }
+
+    /**
+     * Checks out a publication to a patron with an explicit due date, so followers match the leader.
+     *
+     * @param publicationIndex The index of the publication to check out.
+     * @param patronIndex      The index of the patron checking out the publication.
+     * @param dueDate          The date the publication is due back.
+     * @throws IndexOutOfBoundsException If the publication index is invalid.
+     */
+    synchronized void checkOut(int publicationIndex, int patronIndex, LocalDate dueDate) {
         if (publicationIndex <= publications.size() && publicationIndex >= 0) {
             Publication publication = publications.get(publicationIndex);
-            Patron patron = patrons.get(patronIndex);
-            publication.checkOut(patron);
+            PatronRegistry registry = this.patrons;
+            synchronized (registry) {
+                // Holding the registry lock keeps this mutation after the one that registered the patron.
+                Patron patron = registry.get(patronIndex);
+                publication.checkOut(patron, dueDate);
+                if (leader != null) {
+                    leader.publish(this, Mutation.checkOut(publicationIndex, patronIndex, dueDate));
+                }
+            }
         } else {
             throw new IndexOutOfBoundsException("Invalid Publication");
         }
@@ -143,10 +251,13 @@ public class Library {
      * @param publicationIndex The index of the publication to check in.
      * @throws IndexOutOfBoundsException If the publication index is invalid.
      */
-    public void checkIn(int publicationIndex) {
+    public synchronized void checkIn(int publicationIndex) {
         if (publicationIndex <= publications.size() && publicationIndex >= 0) {
             Publication publication = publications.get(publicationIndex);
             publication.checkIn();
+            if (leader != null) {
+                leader.publish(this, Mutation.checkIn(publicationIndex));
+            }
         } else {
             throw new IndexOutOfBoundsException("Invalid Publication");
         }
@@ -158,7 +269,7 @@ public class Library {
      * @return A string containing information about the library and its publications.
      */
     @Override
-    public String toString() {
+    public synchronized String toString() {
         StringBuilder libraryInfo = new StringBuilder();
         libraryInfo.append("-->>  ").append(name).append("  <<--").append("\n\n");
         int num = 0;
@@ -0,0 +1,186 @@
+package library;
+
+import java.io.BufferedReader;
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.StringReader;
+import java.io.StringWriter;
+import java.io.UncheckedIOException;
+import java.time.LocalDate;
+import java.util.Arrays;
+
+/**
+ * The `Mutation` class represents one ordered change to a library that a replication leader
+ * streams to its followers. On the wire a mutation is its sequence number, its operation,
+ * the number of payload lines, and the payload lines themselves.
+ */
+public class Mutation {
+
+    static final String ADD_PUBLICATION = "addPublication";
+    static final String ADD_PATRON = "addPatron";
+    static final String CHECK_OUT = "checkOut";
+    static final String CHECK_IN = "checkIn";
+
+    private final long sequence;
+    private final String operation;
+    private final String[] lines;
+
+    /**
+     * Constructs a new `Mutation` object.
+     *
+     * @param sequence  The position of the mutation in the leader's log, or 0 if not yet sequenced.
+     * @param operation The library operation that was performed.
+     * @param lines     The lines describing the operation's arguments.
+     */
+    private Mutation(long sequence, String operation, String[] lines) {
+        this.sequence = sequence;
+        this.operation = operation;
+        this.lines = lines;
+    }
+
+    /**
+     * Creates a mutation recording that a publication was added.
+     *
+     * @param publication The publication that was added.
+     * @return The unsequenced mutation.
+     */
+    static Mutation addPublication(Publication publication) {
+        StringWriter sw = new StringWriter();
+        try (BufferedWriter bw = new BufferedWriter(sw)) {
+            Library.savePublication(bw, publication);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        return new Mutation(0, ADD_PUBLICATION, lines(sw));
+    }
+
+    /**
+     * Creates a mutation recording that a patron was added.
+     *
+     * @param patron The patron that was added.
+     * @return The unsequenced mutation.
+     */
+    static Mutation addPatron(Patron patron) {
+        StringWriter sw = new StringWriter();
+        try (BufferedWriter bw = new BufferedWriter(sw)) {
+            patron.save(bw);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        return new Mutation(0, ADD_PATRON, lines(sw));
+    }
+
+    /**
+     * Splits saved text into its lines, keeping empty lines such as a blank email.
+     *
+     * @param sw The StringWriter holding text in which every line ends with a newline.
+     * @return The lines without their terminators.
+     */
+    private static String[] lines(StringWriter sw) {
+        String[] parts = sw.toString().split("\n", -1);
+        return Arrays.copyOf(parts, parts.length - 1);
+    }
+
+    /**
+     * Creates a mutation recording that a publication was checked out.
+     *
+     * @param publicationIndex The index of the publication checked out.
+     * @param patronIndex      The index of the patron who checked it out.
+     * @param dueDate          The date the publication is due back.
+     * @return The unsequenced mutation.
+     */
+    static Mutation checkOut(int publicationIndex, int patronIndex, LocalDate dueDate) {
+        return new Mutation(0, CHECK_OUT, new String[] {
+            Integer.toString(publicationIndex), Integer.toString(patronIndex), dueDate.toString()});
+    }
+
+    /**
+     * Creates a mutation recording that a publication was checked in.
+     *
+     * @param publicationIndex The index of the publication checked in.
+     * @return The unsequenced mutation.
+     */
+    static Mutation checkIn(int publicationIndex) {
+        return new Mutation(0, CHECK_IN, new String[] {Integer.toString(publicationIndex)});
+    }
+
+    /**
+     * Returns a copy of this mutation placed at the given position in the leader's log.
+     *
+     * @param sequence The sequence number to assign.
+     * @return The sequenced mutation.
+     */
+    Mutation sequenced(long sequence) {
+        return new Mutation(sequence, operation, lines);
+    }
+
+    /**
+     * Returns the position of this mutation in the leader's log.
+     *
+     * @return The sequence number.
+     */
+    public long getSequence() {
+        return sequence;
+    }
+
+    /**
+     * Applies this mutation to a follower's library.
+     *
+     * @param library The library to change.
+     * @throws IOException If the payload cannot be parsed.
+     */
+    void applyTo(Library library) throws IOException {
+        BufferedReader br = new BufferedReader(new StringReader(String.join("\n", lines) + '\n'));
+        if (operation.equals(ADD_PUBLICATION)) {
+            library.addPublication(Library.loadPublication(br));
+        } else if (operation.equals(ADD_PATRON)) {
+            library.addPatron(new Patron(br));
+        } else if (operation.equals(CHECK_OUT)) {
+            int publicationIndex = Integer.parseInt(br.readLine());
+            int patronIndex = Integer.parseInt(br.readLine());
+            library.checkOut(publicationIndex, patronIndex, LocalDate.parse(br.readLine()));
+        } else if (operation.equals(CHECK_IN)) {
+            library.checkIn(Integer.parseInt(br.readLine()));
+        } else {
+            throw new IOException("Unknown operation: " + operation);
+        }
+    }
+
+    /**
+     * Writes this mutation to a BufferedWriter.
+     *
+     * @param bw The BufferedWriter to which the mutation will be written.
+     * @throws IOException If there is an I/O error while writing.
+     */
+    void write(BufferedWriter bw) throws IOException {
+        bw.write(Long.toString(sequence) + '\n');
+        bw.write(operation + '\n');
+        bw.write(Integer.toString(lines.length) + '\n');
+        for (String line : lines) {
+            bw.write(line + '\n');
+        }
+    }
+
+    /**
+     * Reads a mutation from a BufferedReader.
+     *
+     * @param br The BufferedReader containing the mutation.
+     * @return The mutation read, or null at the end of the stream.
+     * @throws IOException If there is an I/O error while reading.
+     */
+    static Mutation read(BufferedReader br) throws IOException {
+        String sequence = br.readLine();
+        if (sequence == null) {
+            return null;
+        }
+        String operation = br.readLine();
+        String[] lines = new String[Integer.parseInt(br.readLine())];
+        for (int i = 0; i < lines.length; i++) {
+            lines[i] = br.readLine();
+            if (lines[i] == null) {
+                throw new IOException("Truncated mutation " + sequence);
+            }
+        }
+        return new Mutation(Long.parseLong(sequence), operation, lines);
+    }
+}
@@ -33,6 +33,15 @@ public class Patron {
         this.email = br.readLine();
     }
 
+    /**
+     * Returns the email address of the patron.
+     *
+     * @return The patron's email address.
+     */
+    public String getEmail() {
+        return email;
+    }
+
     /**
      * Saves the patron's information to a BufferedWriter.
      *
@@ -0,0 +1,106 @@
+package library;
+
+import java.util.Arrays;
+import java.util.Locale;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * The `PatronRegistry` class holds the patrons of a library, keyed by id and by normalized email.
+ * A patron's id is its position in registration order, which is the index shown in the patron menu.
+ * Blank emails are not indexed, so patrons without an email are never reported as duplicates.
+ *
+ * Registrations are serialized on the registry and take constant amortized time, rejecting
+ * duplicate emails with a hash lookup. Lookups, counts, and paged enumeration never lock:
+ * a registration fills its slot before publishing the new size, so readers only see
+ * fully registered patrons.
+ */
+public class PatronRegistry {
+
+    private final ConcurrentHashMap<String, Integer> idsByEmail = new ConcurrentHashMap<>();
+    private volatile Patron[] slots = new Patron[16];
+    private volatile int size;
+
+    /**
+     * Normalizes an email address so that differences in case and surrounding spaces are ignored.
+     *
+     * @param email The email address to normalize.
+     * @return The normalized email address.
+     */
+    public static String normalize(String email) {
+        return email.trim().toLowerCase(Locale.ROOT);
+    }
+
+    /**
+     * Registers a patron, assigning it the next id. Patrons without an email are registered
+     * but left out of the email index, so any number of them may be added.
+     *
+     * @param patron The patron to register.
+     * @return The id assigned to the patron.
+     * @throws DuplicatePatronException If a patron with the same email is already registered.
+     */
+    public synchronized int register(Patron patron) {
+        int id = size;
+        String email = patron.getEmail() == null ? "" : normalize(patron.getEmail());
+        if (!email.isEmpty() && idsByEmail.putIfAbsent(email, id) != null) {
+            throw new DuplicatePatronException(patron.getEmail());
+        }
+        Patron[] current = slots;
+        if (id == current.length) {
+            current = Arrays.copyOf(current, id * 2);
+            slots = current;
+        }
+        current[id] = patron;
+        size = id + 1;
+        return id;
+    }
+
+    /**
+     * Returns the patron with the given id.
+     *
+     * @param id The id of the patron.
+     * @return The patron.
+     * @throws IndexOutOfBoundsException If no patron has the given id.
+     */
+    public Patron get(int id) {
+        int count = size;
+        if (id < 0 || id >= count) {
+            throw new IndexOutOfBoundsException("Invalid Patron");
+        }
+        return slots[id];
+    }
+
+    /**
+     * Returns the id of the patron with the given email.
+     *
+     * @param email The email address, in any case.
+     * @return The patron's id, or -1 if no patron has that email.
+     */
+    public int idOf(String email) {
+        Integer id = idsByEmail.get(normalize(email));
+        return id == null || id >= size ? -1 : id;
+    }
+
+    /**
+     * Returns the number of registered patrons.
+     *
+     * @return The patron count.
+     */
+    public int size() {
+        return size;
+    }
+
+    /**
+     * Returns a page of patrons in registration order.
+     *
+     * @param offset The id of the first patron on the page.
+     * @param limit  The maximum number of patrons on the page.
+     * @return The patrons on the page, empty if the offset is past the end.
+     */
+    public Patron[] page(int offset, int limit) {
+        int count = size;
+        Patron[] current = slots;
+        int from = Math.max(0, Math.min(offset, count));
+        int to = (int) Math.min((long) from + Math.max(0, limit), count);
+        return Arrays.copyOfRange(current, from, to);
+    }
+}
@@ -84,8 +84,18 @@ public class Publication {
      * @param patron The patron who is checking out the publication.
      */
     public void checkOut(Patron patron) {
+        checkOut(patron, LocalDate.now().plusDays(14));
+    }
+
+    /**
+     * Checks out the publication to a patron with an explicit due date.
+     *
+     * @param patron  The patron who is checking out the publication.
+     * @param dueDate The date the publication is due back.
+     */
+    void checkOut(Patron patron, LocalDate dueDate) {
         this.loanedTo = patron;
-        this.dueDate = LocalDate.now().plusDays(14);
+        this.dueDate = dueDate;
     }
 
     /**
@@ -0,0 +1,117 @@
+package library;
+
+import java.io.BufferedReader;
+import java.io.BufferedWriter;
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.io.OutputStreamWriter;
+import java.net.Socket;
+
+/**
+ * The `ReplicationFollower` class keeps a read-only copy of a leader's library up to date.
+ * It applies the leader's mutations in sequence order and, whenever the connection drops,
+ * reconnects and either replays the mutations it missed or reloads from a snapshot.
+ */
+public class ReplicationFollower implements Closeable {
+
+    /**
+     * The delay in milliseconds between attempts to reach the leader.
+     */
+    public static final long RETRY_MILLIS = 1000;
+
+    private final Library library;
+    private final String host;
+    private final int port;
+    private final Thread receiver;
+    private volatile long leaderId;
+    private volatile long sequence;
+    private volatile boolean running = true;
+    private volatile Socket socket;
+
+    /**
+     * Constructs a new `ReplicationFollower` and starts following the leader in the background.
+     *
+     * @param library The library kept in step with the leader.
+     * @param host    The host on which the leader listens.
+     * @param port    The TCP port on which the leader listens.
+     */
+    public ReplicationFollower(Library library, String host, int port) {
+        this.library = library;
+        this.host = host;
+        this.port = port;
+        this.receiver = new Thread(this::follow, "replication-follower");
+        this.receiver.setDaemon(true);
+        this.receiver.start();
+    }
+
+    /**
+     * Returns the sequence number of the last mutation applied to the library.
+     *
+     * @return The last applied sequence number.
+     */
+    public long getSequence() {
+        return sequence;
+    }
+
+    /**
+     * Stops following the leader.
+     *
+     * @throws IOException If the connection cannot be closed.
+     */
+    @Override
+    public void close() throws IOException {
+        running = false;
+        receiver.interrupt();
+        Socket current = socket;
+        if (current != null) {
+            current.close();
+        }
+    }
+
+    private void follow() {
+        while (running) {
+            try (Socket s = new Socket(host, port)) {
+                socket = s;
+                BufferedReader br = new BufferedReader(new InputStreamReader(s.getInputStream()));
+                BufferedWriter bw = new BufferedWriter(new OutputStreamWriter(s.getOutputStream()));
+                bw.write("SYNC " + leaderId + " " + sequence + '\n');
+                bw.flush();
+                receive(br);
+            } catch (IOException e) {
+                // The leader is unreachable or dropped us; retry below.
+            } catch (RuntimeException e) {
+                System.err.println("Replication Error: " + e.getMessage());
+                leaderId = 0;
+            }
+            try {
+                Thread.sleep(RETRY_MILLIS);
+            } catch (InterruptedException e) {
+                return;
+            }
+        }
+    }
+
+    private void receive(BufferedReader br) throws IOException {
+        String response = br.readLine();
+        String[] parts = response == null ? new String[0] : response.split(" ");
+        if (parts.length == 3 && parts[0].equals("SNAPSHOT")) {
+            Library snapshot = new Library(br);
+            library.restore(snapshot);
+            leaderId = Long.parseLong(parts[1]);
+            sequence = Long.parseLong(parts[2]);
+        } else if (parts.length != 2 || !parts[0].equals("RECORDS") || Long.parseLong(parts[1]) != leaderId) {
+            throw new IOException("Invalid sync response: " + response);
+        }
+
+        Mutation mutation;
+        while ((mutation = Mutation.read(br)) != null) {
+            if (mutation.getSequence() != sequence + 1) {
+                leaderId = 0;
+                throw new IOException("Expected mutation " + (sequence + 1) + " but got " + mutation.getSequence());
+            }
+            mutation.applyTo(library);
+            sequence = mutation.getSequence();
+        }
+    }
+}
@@ -0,0 +1,274 @@
+package library;
+
+import java.io.BufferedReader;
+import java.io.BufferedWriter;
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.io.OutputStreamWriter;
+import java.io.StringWriter;
+import java.net.InetAddress;
+import java.net.ServerSocket;
+import java.net.Socket;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * The `ReplicationLeader` class streams the ordered mutations of a library to follower processes
+ * over local TCP.
+ *
+ * A follower connects and sends "SYNC leaderId sequence" naming the last mutation it applied.
+ * If the leader still holds every later mutation in its backlog it answers "RECORDS leaderId" and
+ * replays them; otherwise it answers "SNAPSHOT leaderId sequence" followed by the saved library.
+ * Either way it then streams new mutations as they happen. A follower whose queue fills up is
+ * disconnected, so lag stays bounded, and resynchronizes when it reconnects.
+ */
+public class ReplicationLeader implements Closeable {
+
+    /*
+     * Locks are always taken in the order library, patron registry, leader. Patron registrations
+     * take only the registry and leader locks, so they never wait behind the library lock.
+     */
+
+    /**
+     * The number of recent mutations kept for followers that reconnect.
+     */
+    public static final int BACKLOG_SIZE = 4096;
+
+    /**
+     * The number of mutations a follower may fall behind before it is disconnected.
+     */
+    public static final int FOLLOWER_QUEUE_SIZE = 1024;
+
+    private final long leaderId = ThreadLocalRandom.current().nextLong(1, Long.MAX_VALUE);
+    private final ServerSocket serverSocket;
+    private final ArrayDeque<Mutation> backlog = new ArrayDeque<>();
+    private final List<FollowerLink> followers = new CopyOnWriteArrayList<>();
+    private Library library;
+    private long sequence;
+
+    /**
+     * Constructs a new `ReplicationLeader` for the given library, listening on the loopback interface.
+     *
+     * @param library The library whose mutations are replicated.
+     * @param port    The TCP port on which followers connect.
+     * @throws IOException If the port cannot be bound.
+     */
+    public ReplicationLeader(Library library, int port) throws IOException {
+        this.serverSocket = new ServerSocket(port, 50, InetAddress.getLoopbackAddress());
+        attach(library);
+        Thread acceptor = new Thread(this::acceptFollowers, "replication-leader");
+        acceptor.setDaemon(true);
+        acceptor.start();
+    }
+
+    /**
+     * Makes the given library the one being replicated, for example after a file is opened.
+     * The backlog is discarded, so every follower reloads from a snapshot.
+     *
+     * @param newLibrary The library whose mutations are replicated from now on.
+     */
+    public void attach(Library newLibrary) {
+        synchronized (newLibrary) {
+            synchronized (newLibrary.patrons) {
+                synchronized (this) {
+                    if (library != null) {
+                        library.leader = null;
+                    }
+                    library = newLibrary;
+                    library.leader = this;
+                    backlog.clear();
+                    sequence++;
+                    for (FollowerLink link : followers) {
+                        link.close();
+                    }
+                }
+            }
+        }
+    }
+
+    /**
+     * Assigns the next sequence number to a mutation and queues it for every follower.
+     * Called by the library while it holds its own lock, or its patron registry's lock for
+     * registrations, so sequence order matches apply order.
+     *
+     * @param source   The library that was changed.
+     * @param mutation The unsequenced mutation.
+     */
+    synchronized void publish(Library source, Mutation mutation) {
+        if (source != library) {
+            return;
+        }
+        Mutation sequenced = mutation.sequenced(++sequence);
+        backlog.addLast(sequenced);
+        if (backlog.size() > BACKLOG_SIZE) {
+            backlog.removeFirst();
+        }
+        for (FollowerLink link : followers) {
+            if (!link.queue.offer(sequenced)) {
+                link.close();
+            }
+        }
+    }
+
+    /**
+     * Returns the sequence number of the most recent mutation.
+     *
+     * @return The last sequence number assigned.
+     */
+    public synchronized long getSequence() {
+        return sequence;
+    }
+
+    /**
+     * Stops accepting followers, disconnects the ones already connected, and detaches the library
+     * so its later changes are no longer sequenced.
+     *
+     * @throws IOException If the server socket cannot be closed.
+     */
+    @Override
+    public void close() throws IOException {
+        synchronized (this) {
+            if (library != null) {
+                library.leader = null;
+                library = null;
+            }
+            backlog.clear();
+        }
+        serverSocket.close();
+        for (FollowerLink link : followers) {
+            link.close();
+        }
+    }
+
+    private void acceptFollowers() {
+        while (!serverSocket.isClosed()) {
+            try {
+                Socket socket = serverSocket.accept();
+                Thread handshake = new Thread(() -> register(socket), "replication-handshake");
+                handshake.setDaemon(true);
+                handshake.start();
+            } catch (IOException e) {
+                if (!serverSocket.isClosed()) {
+                    System.err.println("Replication Error: " + e.getMessage());
+                }
+            }
+        }
+    }
+
+    private void register(Socket socket) {
+        try {
+            BufferedReader br = new BufferedReader(new InputStreamReader(socket.getInputStream()));
+            String request = br.readLine();
+            String[] parts = request == null ? new String[0] : request.split(" ");
+            if (parts.length != 3 || !parts[0].equals("SYNC")) {
+                throw new IOException("Invalid sync request: " + request);
+            }
+            long followerLeaderId = Long.parseLong(parts[1]);
+            long followerSequence = Long.parseLong(parts[2]);
+
+            while (true) {
+                Library current;
+                synchronized (this) {
+                    current = library;
+                }
+                if (current == null) {
+                    throw new IOException("Leader is closed");
+                }
+                synchronized (current) {
+                    // The registry lock keeps registrations out of the snapshot until they are sequenced.
+                    synchronized (current.patrons) {
+                        synchronized (this) {
+                            if (current != library) {
+                                continue;
+                            }
+                            FollowerLink link = new FollowerLink(socket);
+                            long oldest = sequence - backlog.size();
+                            if (followerLeaderId == leaderId && followerSequence >= oldest
+                                    && followerSequence <= sequence) {
+                                link.header = "RECORDS " + leaderId;
+                                for (Mutation mutation : backlog) {
+                                    if (mutation.getSequence() > followerSequence) {
+                                        link.catchUp.add(mutation);
+                                    }
+                                }
+                            } else {
+                                StringWriter sw = new StringWriter();
+                                try (BufferedWriter bw = new BufferedWriter(sw)) {
+                                    library.save(bw);
+                                }
+                                link.header = "SNAPSHOT " + leaderId + " " + sequence;
+                                link.snapshot = sw.toString();
+                            }
+                            followers.add(link);
+                            link.start();
+                            return;
+                        }
+                    }
+                }
+            }
+        } catch (IOException | RuntimeException e) {
+            System.err.println("Replication Error: " + e.getMessage());
+            try {
+                socket.close();
+            } catch (IOException ignored) {
+            }
+        }
+    }
+
+    /**
+     * A connection to one follower and the mutations waiting to be sent to it.
+     */
+    private class FollowerLink extends Thread {
+
+        private final Socket socket;
+        private final BlockingQueue<Mutation> queue = new ArrayBlockingQueue<>(FOLLOWER_QUEUE_SIZE);
+        private final List<Mutation> catchUp = new ArrayList<>();
+        private String header;
+        private String snapshot;
+
+        FollowerLink(Socket socket) {
+            super("replication-follower-" + socket.getPort());
+            this.socket = socket;
+            setDaemon(true);
+        }
+
+        @Override
+        public void run() {
+            try (BufferedWriter bw = new BufferedWriter(new OutputStreamWriter(socket.getOutputStream()))) {
+                bw.write(header + '\n');
+                if (snapshot != null) {
+                    bw.write(snapshot);
+                }
+                for (Mutation mutation : catchUp) {
+                    mutation.write(bw);
+                }
+                bw.flush();
+                while (true) {
+                    queue.take().write(bw);
+                    if (queue.isEmpty()) {
+                        bw.flush();
+                    }
+                }
+            } catch (IOException | InterruptedException e) {
+                // The follower went away or fell too far behind; it resynchronizes on reconnect.
+            } finally {
+                close();
+            }
+        }
+
+        void close() {
+            followers.remove(this);
+            interrupt();
+            try {
+                socket.close();
+            } catch (IOException ignored) {
+            }
+        }
+    }
+}
@@ -5,6 +5,9 @@ import library.Patron;
 import library.Publication;
 import library.Video;
 import library.InvalidRuntimeException;
+import library.DuplicatePatronException;
+import library.ReplicationFollower;
+import library.ReplicationLeader;
 
 import java.io.BufferedReader;
 import java.io.BufferedWriter;
@@ -22,8 +25,15 @@ import java.io.IOException;
  */
 public class LibraryManager {
 
+    /**
+     * The number of patrons shown on each page of the patron list.
+     */
+    public static final int PATRON_PAGE_SIZE = 20;
+
     private Library myLibrary;
     private Scanner scanner;
+    private ReplicationLeader leader;
+    private ReplicationFollower follower;
 
     /**
      * Constructs a `LibraryManager` object with the given library and initializes a scanner for user input.
@@ -35,6 +45,19 @@ public class LibraryManager {
         this.scanner = new Scanner(System.in);
     }
 
+    /**
+     * Reports whether this manager is a read-only follower, printing a notice if it is.
+     *
+     * @return true if changes must be made on the leader instead.
+     */
+    private boolean isReadOnly() {
+        if (follower != null) {
+            System.err.println("Read-only follower: make changes on the leader.");
+            return true;
+        }
+        return false;
+    }
+
     /**
      * Displays a list of publications in the library.
      */
@@ -46,6 +69,9 @@ public class LibraryManager {
      * Adds a new publication (book) to the library based on user input.
      */
     public void addPublication() {
+        if (isReadOnly()) {
+            return;
+        }
         System.out.println("\nEnter the Title: ");
         String title = scanner.nextLine();
         System.out.println("Enter name of the author: ");
@@ -61,6 +87,9 @@ public class LibraryManager {
      * Adds a new video publication to the library based on user input.
      */
     public void addVideo() {
+        if (isReadOnly()) {
+            return;
+        }
         System.out.println("\nEnter the Title: ");
         String title = scanner.nextLine();
         System.out.println("Enter name of the author: ");
@@ -83,14 +112,17 @@ public class LibraryManager {
      * Allows a patron to check out a publication.
      */
     public void checkOutPublication() {
+        if (isReadOnly()) {
+            return;
+        }
         listPublications();
         System.out.println("\nWhich publication do you want to check out: ");
         int publicationIndex = scanner.nextInt();
         scanner.nextLine();
         listPatron();
-        System.out.println("\nWho are you: ");
-        int patronIndex = scanner.nextInt();
-        scanner.nextLine();
+        System.out.println("\nWho are you (number or email): ");
+        String patron = scanner.nextLine().trim();
+        int patronIndex = patron.matches("\\d{1,9}") ? Integer.parseInt(patron) : myLibrary.findPatron(patron);
         try {
             myLibrary.checkOut(publicationIndex, patronIndex);
         } catch (IndexOutOfBoundsException e) {
@@ -102,6 +134,9 @@ public class LibraryManager {
      * Allows a patron to check in a publication.
      */
     public void checkInPublication() {
+        if (isReadOnly()) {
+            return;
+        }
         listPublications();
         System.out.println("\nWhich publication do you want to check in: ");
         int publicationIndex = scanner.nextInt();
@@ -114,34 +149,62 @@ public class LibraryManager {
     }
 
     /**
-     * Displays a list of patrons in the library.
+     * Displays the patrons in the library one page at a time.
      */
     public void listPatron() {
-        System.out.println("\n" + myLibrary.patronMenu());
+        int offset = 0;
+        while (true) {
+            System.out.println("\n" + myLibrary.patronMenu(offset, PATRON_PAGE_SIZE));
+            offset += PATRON_PAGE_SIZE;
+            if (offset >= myLibrary.patronCount()) {
+                return;
+            }
+            System.out.println("Press Enter for more patrons, or q to stop: ");
+            if (scanner.nextLine().trim().equalsIgnoreCase("q")) {
+                return;
+            }
+        }
     }
 
     /**
      * Adds a new patron to the library based on user input.
      */
     public void addPatron() {
+        if (isReadOnly()) {
+            return;
+        }
         System.out.println("\nEnter the name: ");
         String name = scanner.nextLine();
         System.out.println("\nEnter the email: ");
         String email = scanner.nextLine();
-        myLibrary.addPatron(new Patron(name, email));
+        try {
+            myLibrary.addPatron(new Patron(name, email));
+        } catch (DuplicatePatronException e) {
+            System.err.println("Error: A patron with email " + email + " already exists.");
+        }
     }
 
     /**
      * Opens a library from a file specified by the user.
      */
     public void openLibrary() {
+        if (isReadOnly()) {
+            return;
+        }
         System.out.println("Enter Filename: ");
         String fileName = scanner.nextLine();
 
         try (BufferedReader br = new BufferedReader(new FileReader(fileName))) {
             myLibrary = new Library(br);
+            if (leader != null) {
+                leader.attach(myLibrary);
+            }
         } catch (IOException e) {
             System.err.println("Error Printed");
+        } catch (DuplicatePatronException e) {
+            System.err.println("Error: " + fileName + " lists two patrons with the same email.");
+        } catch (NumberFormatException e) {
+            System.err.println("Error: " + fileName + " has an invalid number: " + e.getMessage());
         }
     }
 
@@ -161,12 +224,27 @@ public class LibraryManager {
 
     /**
      * The main method to run the Library Manager application.
+     * Run with "leader port" to replicate changes to followers, or with "follower host port"
+     * to serve a read-only copy of a leader's library.
      *
-     * @param args Command-line arguments (not used in this application).
+     * @param args Command-line arguments selecting the replication role, if any.
      */
     public static void main(String args[]) {
         Library myLibrary = new Library("UTA Library");
         LibraryManager myLibManager = new LibraryManager(myLibrary);
+        try {
+            if (args.length == 2 && args[0].equals("leader")) {
+                myLibManager.leader = new ReplicationLeader(myLibrary, Integer.parseInt(args[1]));
+            } else if (args.length == 3 && args[0].equals("follower")) {
+                myLibManager.follower = new ReplicationFollower(myLibrary, args[1], Integer.parseInt(args[2]));
+            } else if (args.length != 0) {
+                System.err.println("Usage: LibraryManager [leader port | follower host port]");
+                return;
+            }
+        } catch (IOException | NumberFormatException e) {
+            System.err.println("Replication Error: " + e.getMessage());
+            return;
+        }
         Scanner scanner = new Scanner(System.in);
 
         while (true) {